@@ -0,0 +1,240 @@
+package com.askegard.githubdataintegration.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of usernames that GitHub reported as not found. Usernames are remembered in a
+ * {@link RotatingBloomFilter} so that large numbers of missing users take little memory and can be rejected without a
+ * call to GitHub. A filter hit is trusted on its own unless a false positive would matter, in which case the username
+ * must also be in a bounded exact record of recent misses:
+ * <ul>
+ *     <li>the filter's estimated false positive rate is above the rate it was sized for, or</li>
+ *     <li>GitHub recently found a user with the username</li>
+ * </ul>
+ * One in every {@link #FALSE_POSITIVE_SAMPLE_INTERVAL} filter hits that the exact record does not confirm is sent to
+ * GitHub anyway, so the rate of wrongly rejected users can be observed.
+ */
+@Component
+public class NegativeUserCache implements MeterBinder {
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int SLICES = 4;
+    private static final long EXPECTED_MISSES_PER_SLICE = 1_000_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MAX_RECORD_ENTRIES = 50_000;
+    private static final int FALSE_POSITIVE_SAMPLE_INTERVAL = 100;
+
+    /**
+     * Rough size of one exact record entry: the map entry, the username string and the boxed expiry
+     */
+    private static final long ESTIMATED_RECORD_ENTRY_BYTES = 128;
+
+    private final RotatingBloomFilter filter;
+    private final ExpiringRecord confirmedMisses;
+    private final ExpiringRecord recentlyFound;
+    private final int falsePositiveSampleInterval;
+
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong unconfirmedHits = new AtomicLong();
+    private final AtomicLong filterHitsSentUpstream = new AtomicLong();
+    private final AtomicLong observedFalsePositives = new AtomicLong();
+
+    /**
+     * Constructs a new instance
+     */
+    public NegativeUserCache() {
+        this(EXPECTED_MISSES_PER_SLICE, MAX_RECORD_ENTRIES, FALSE_POSITIVE_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Constructs an instance with custom sizing
+     *
+     * @param expectedMissesPerSlice      Number of missing usernames each filter slice is sized for
+     * @param maxRecordEntries            Maximum number of usernames kept in each exact record
+     * @param falsePositiveSampleInterval One in this many unconfirmed filter hits is sent to GitHub
+     */
+    public NegativeUserCache(final long expectedMissesPerSlice,
+                             final int maxRecordEntries,
+                             final int falsePositiveSampleInterval) {
+        this(TTL, SLICES, expectedMissesPerSlice, maxRecordEntries, falsePositiveSampleInterval, System::nanoTime);
+    }
+
+    /**
+     * Constructs an instance with custom sizing and clock for unit tests
+     *
+     * @param ttl                         Maximum time a username is remembered
+     * @param slices                      Number of time slices in the Bloom filter
+     * @param expectedMissesPerSlice      Number of missing usernames each filter slice is sized for
+     * @param maxRecordEntries            Maximum number of usernames kept in each exact record
+     * @param falsePositiveSampleInterval One in this many unconfirmed filter hits is sent to GitHub
+     * @param nanoClock                   Source of the current time in nanoseconds
+     */
+    NegativeUserCache(final Duration ttl,
+                      final int slices,
+                      final long expectedMissesPerSlice,
+                      final int maxRecordEntries,
+                      final int falsePositiveSampleInterval,
+                      final LongSupplier nanoClock) {
+        this.filter = new RotatingBloomFilter(slices, ttl.toNanos() / slices, expectedMissesPerSlice,
+                FALSE_POSITIVE_RATE / slices, nanoClock);
+        this.confirmedMisses = new ExpiringRecord(maxRecordEntries, ttl.toNanos(), nanoClock);
+        this.recentlyFound = new ExpiringRecord(maxRecordEntries, ttl.toNanos(), nanoClock);
+        this.falsePositiveSampleInterval = falsePositiveSampleInterval;
+    }
+
+    /**
+     * Checks whether the given username was recently reported as not found by GitHub
+     *
+     * @param username Username to check
+     * @return true if the lookup for the username should be rejected without calling GitHub
+     */
+    public boolean isKnownMissing(final String username) {
+        if (!filter.mightContain(username)) {
+            return false;
+        }
+        if (confirmedMisses.contains(username)) {
+            rejections.incrementAndGet();
+            return true;
+        }
+
+        final long unconfirmed = unconfirmedHits.incrementAndGet();
+        final boolean requiresConfirmation = filter.estimatedFalsePositiveRate() > FALSE_POSITIVE_RATE
+                || recentlyFound.contains(username);
+        if (requiresConfirmation || unconfirmed % falsePositiveSampleInterval == 0) {
+            filterHitsSentUpstream.incrementAndGet();
+            return false;
+        }
+        rejections.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Records that GitHub reported the given username as not found
+     *
+     * @param username Username that was not found
+     */
+    public void recordMissing(final String username) {
+        filter.put(username);
+        recentlyFound.remove(username);
+        confirmedMisses.put(username);
+    }
+
+    /**
+     * Records that GitHub returned a user for the given username. A username found in GitHub that the filter matched is
+     * counted as an observed false positive.
+     *
+     * @param username Username that was found
+     */
+    public void recordFound(final String username) {
+        confirmedMisses.remove(username);
+        recentlyFound.put(username);
+        if (filter.mightContain(username)) {
+            observedFalsePositives.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("github.negative.cache.false.positive.rate.estimated", filter,
+                        RotatingBloomFilter::estimatedFalsePositiveRate)
+                .description("Estimated false positive rate of the missing username Bloom filter")
+                .register(registry);
+        Gauge.builder("github.negative.cache.false.positive.rate.observed", this,
+                        NegativeUserCache::observedFalsePositiveRate)
+                .description("Fraction of unconfirmed filter hits sent to GitHub that GitHub found")
+                .register(registry);
+        Gauge.builder("github.negative.cache.memory", filter, RotatingBloomFilter::memoryBytes)
+                .description("Memory held by the missing username Bloom filter")
+                .tag("structure", "filter")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("github.negative.cache.memory", this, NegativeUserCache::estimatedRecordBytes)
+                .description("Estimated memory held by the exact records of recent misses and found users")
+                .tag("structure", "records")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("github.negative.cache.confirmed.size", confirmedMisses, ExpiringRecord::size)
+                .description("Number of usernames in the exact record of recent misses")
+                .register(registry);
+        FunctionCounter.builder("github.negative.cache.rejections", rejections, AtomicLong::get)
+                .description("Lookups rejected without calling GitHub")
+                .register(registry);
+        FunctionCounter.builder("github.negative.cache.unconfirmed.hits", unconfirmedHits, AtomicLong::get)
+                .description("Lookups that matched the filter but not the exact record of recent misses")
+                .register(registry);
+    }
+
+    /**
+     * @return Fraction of unconfirmed filter hits sent to GitHub that GitHub found, or 0 if none have been sent
+     */
+    public double observedFalsePositiveRate() {
+        final long sent = filterHitsSentUpstream.get();
+        return sent == 0 ? 0.0 : (double) observedFalsePositives.get() / sent;
+    }
+
+    /**
+     * @return Estimated number of bytes held by the exact records
+     */
+    long estimatedRecordBytes() {
+        return (long) (confirmedMisses.size() + recentlyFound.size()) * ESTIMATED_RECORD_ENTRY_BYTES;
+    }
+
+    /**
+     * Bounded set of usernames that each expire a fixed time after they were added. Entries are kept in insertion
+     * order, so the eldest entries are both the first to expire and the first evicted once the record is full.
+     */
+    private static final class ExpiringRecord {
+        private final LinkedHashMap<String, Long> expiries;
+        private final long ttlNanos;
+        private final LongSupplier nanoClock;
+
+        private ExpiringRecord(final int maxEntries, final long ttlNanos, final LongSupplier nanoClock) {
+            this.expiries = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+            this.ttlNanos = ttlNanos;
+            this.nanoClock = nanoClock;
+        }
+
+        private synchronized void put(final String username) {
+            final long now = nanoClock.getAsLong();
+            // Re-inserting moves the username to the newest end
+            expiries.remove(username);
+            expiries.put(username, now + ttlNanos);
+            removeExpired(now);
+        }
+
+        private synchronized void remove(final String username) {
+            expiries.remove(username);
+        }
+
+        private synchronized boolean contains(final String username) {
+            removeExpired(nanoClock.getAsLong());
+            return expiries.containsKey(username);
+        }
+
+        private synchronized int size() {
+            return expiries.size();
+        }
+
+        private void removeExpired(final long now) {
+            final Iterator<Long> iterator = expiries.values().iterator();
+            while (iterator.hasNext() && iterator.next() - now <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.askegard.githubdataintegration.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-sliced Bloom filter. Entries are added to the newest slice and the oldest slice is cleared each time a slice
+ * duration elapses, so an entry is remembered for between {@code (slices - 1) * sliceDuration} and
+ * {@code slices * sliceDuration} nanoseconds. Lookups and additions are thread safe.
+ */
+public class RotatingBloomFilter {
+    private final Slice[] slices;
+    private final int hashFunctions;
+    private final long sliceDurationNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile long currentEpoch;
+
+    /**
+     * Constructs a new instance
+     *
+     * @param sliceCount                Number of time slices to keep
+     * @param sliceDurationNanos        Time in nanoseconds that each slice receives new entries before rotating
+     * @param expectedInsertionsPerSlice Number of entries each slice is sized for
+     * @param falsePositiveRatePerSlice Desired false positive rate of a single slice at its expected insertions
+     * @param nanoClock                 Source of the current time in nanoseconds
+     */
+    public RotatingBloomFilter(final int sliceCount,
+                               final long sliceDurationNanos,
+                               final long expectedInsertionsPerSlice,
+                               final double falsePositiveRatePerSlice,
+                               final LongSupplier nanoClock) {
+        final double ln2 = Math.log(2);
+        final long bits = Math.max(64,
+                (long) Math.ceil(-expectedInsertionsPerSlice * Math.log(falsePositiveRatePerSlice) / (ln2 * ln2)));
+        final int words = Math.toIntExact((bits + 63) / 64);
+
+        this.hashFunctions = Math.max(1, (int) Math.round((double) words * 64 / expectedInsertionsPerSlice * ln2));
+        this.sliceDurationNanos = sliceDurationNanos;
+        this.nanoClock = nanoClock;
+        this.slices = new Slice[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new Slice(words);
+        }
+        this.currentEpoch = nanoClock.getAsLong() / sliceDurationNanos;
+    }
+
+    /**
+     * Adds the given value to the newest slice
+     *
+     * @param value Value to add
+     */
+    public void put(final String value) {
+        final long epoch = rotate();
+        final Slice slice = slices[(int) Math.floorMod(epoch, (long) slices.length)];
+        final long[] hashes = hash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            slice.setBit(index(hashes, i, slice.bitSize()));
+        }
+    }
+
+    /**
+     * @param value Value to look up
+     * @return false if the value was definitely not added within the retention window, true if it might have been
+     */
+    public boolean mightContain(final String value) {
+        rotate();
+        final long[] hashes = hash(value);
+        for (final Slice slice : slices) {
+            if (slice.containsAll(hashes, hashFunctions)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estimates the probability that {@link #mightContain(String)} returns true for a value that was never added, based
+     * on how many bits are currently set in each slice
+     *
+     * @return Estimated false positive rate of a lookup across all slices
+     */
+    public double estimatedFalsePositiveRate() {
+        rotate();
+        double allSlicesNegative = 1.0;
+        for (final Slice slice : slices) {
+            final double fill = (double) slice.bitsSet.get() / slice.bitSize();
+            allSlicesNegative *= 1.0 - Math.pow(fill, hashFunctions);
+        }
+        return 1.0 - allSlicesNegative;
+    }
+
+    /**
+     * @return Approximate number of bytes held by the bit arrays of all slices
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (final Slice slice : slices) {
+            bytes += (long) slice.words.length() * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Clears every slice whose time window has passed since the last call
+     *
+     * @return The epoch of the slice currently receiving new entries
+     */
+    private long rotate() {
+        final long epoch = nanoClock.getAsLong() / sliceDurationNanos;
+        if (epoch <= currentEpoch) {
+            return currentEpoch;
+        }
+        synchronized (this) {
+            final long previousEpoch = currentEpoch;
+            final long expired = Math.min(epoch - previousEpoch, slices.length);
+            for (long e = epoch - expired + 1; e <= epoch; e++) {
+                slices[(int) Math.floorMod(e, (long) slices.length)].clear();
+            }
+            currentEpoch = Math.max(previousEpoch, epoch);
+            return currentEpoch;
+        }
+    }
+
+    /**
+     * Computes the two base hashes used to derive every bit index of a value via double hashing
+     */
+    private static long[] hash(final String value) {
+        long h = 0xcbf29ce484222325L;
+        for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return new long[]{mix(h), mix(h ^ 0x9e3779b97f4a7c15L) | 1L};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long index(final long[] hashes, final int i, final long bitSize) {
+        return Math.floorMod(hashes[0] + i * hashes[1], bitSize);
+    }
+
+    /**
+     * Single time slice of the filter
+     */
+    private static final class Slice {
+        private final AtomicLongArray words;
+        private final AtomicLong bitsSet = new AtomicLong();
+
+        private Slice(final int wordCount) {
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        private long bitSize() {
+            return (long) words.length() * 64;
+        }
+
+        private void setBit(final long bitIndex) {
+            final int word = (int) (bitIndex >>> 6);
+            final long mask = 1L << (bitIndex & 63);
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+            bitsSet.incrementAndGet();
+        }
+
+        private boolean containsAll(final long[] hashes, final int hashFunctions) {
+            final long bitSize = bitSize();
+            for (int i = 0; i < hashFunctions; i++) {
+                final long bitIndex = index(hashes, i, bitSize);
+                if ((words.get((int) (bitIndex >>> 6)) & (1L << (bitIndex & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void clear() {
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, 0L);
+            }
+            bitsSet.set(0L);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.askegard.githubdataintegration.clients;
 
+import com.askegard.githubdataintegration.diagnostics.RepositoryWalkEvent;
 import com.askegard.githubdataintegration.exceptions.ServiceCallException;
 import com.askegard.githubdataintegration.models.GitHubRepository;
 import com.askegard.githubdataintegration.models.GitHubUser;
@@ -15,11 +16,19 @@ import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Client for performing web requests defined by {@link GitHubService}
@@ -33,29 +42,66 @@ public class GitHubClient {
     private static final int SOCKET_TIMEOUT = 120000;
     private static final String USER_AGENT = "GitHubDataIntegration";
     private static final int REPOSITORY_PER_PAGE = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubClient.class);
 
     private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
-    private final GitHubService gitHubService;
+    private final Supplier<GitHubService> gitHubServiceFactory;
+    private final Executor initExecutor;
+
+    private volatile CompletableFuture<GitHubService> gitHubService;
 
     /**
-     * Constructs a new instance
+     * Constructs a new instance. The Feign service and its HTTP client are built on a short-lived background thread so
+     * that they do not delay application startup; the first request waits for them if they are not ready yet.
      */
     public GitHubClient() {
+        this(GitHubClient::buildGitHubService,
+                build -> Thread.ofPlatform().name("github-client-init").daemon().start(build));
+    }
+
+    /**
+     * Constructs an instance for mock unit tests
+     *
+     * @param mockGitHubService Mocked GitHub service to stub calls for
+     */
+    GitHubClient(GitHubService mockGitHubService) {
+        this(() -> mockGitHubService, Runnable::run);
+    }
+
+    /**
+     * Constructs an instance that builds its GitHub service with the given factory
+     *
+     * @param gitHubServiceFactory Builds the GitHub service
+     * @param initExecutor         Executor that runs the factory
+     */
+    GitHubClient(Supplier<GitHubService> gitHubServiceFactory, Executor initExecutor) {
+        this.gitHubServiceFactory = gitHubServiceFactory;
+        this.initExecutor = initExecutor;
+        this.gitHubService = CompletableFuture.supplyAsync(gitHubServiceFactory, initExecutor);
+    }
+
+    /**
+     * Builds the Feign service for GitHub's API backed by an Apache HTTP client that records a Flight Recorder event
+     * for each call
+     *
+     * @return New GitHub service
+     */
+    private static GitHubService buildGitHubService() {
         final var requestConfig = RequestConfig.custom()
                 .setSocketTimeout(SOCKET_TIMEOUT)
                 .setConnectTimeout(CONNECT_TIMEOUT)
                 .setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT)
                 .build();
 
-        final Client client = new ApacheHttpClient(HttpClientBuilder.create()
+        final Client client = new JfrRecordingClient(new ApacheHttpClient(HttpClientBuilder.create()
                 .setMaxConnPerRoute(Integer.MAX_VALUE)
                 .setMaxConnTotal(Integer.MAX_VALUE)
                 .setDefaultRequestConfig(requestConfig)
                 .setUserAgent(USER_AGENT)
-                .build());
+                .build()));
 
-        gitHubService = Feign.builder()
+        return Feign.builder()
                 .encoder(new JacksonEncoder())
                 .decoder(new JacksonDecoder())
                 .client(client)
@@ -63,12 +109,27 @@ public class GitHubClient {
     }
 
     /**
-     * Constructs an instance for mock unit tests
+     * Waits for the GitHub service to be built. If building it failed, the failure is logged and a new build is started
+     * so that a later call can succeed.
      *
-     * @param mockGitHubService Mocked GitHub service to stub calls for
+     * @return The GitHub service
+     * @throws ServiceCallException If the GitHub service could not be built
      */
-    GitHubClient(GitHubService mockGitHubService) {
-        this.gitHubService = mockGitHubService;
+    private GitHubService gitHubService() throws ServiceCallException {
+        final CompletableFuture<GitHubService> build = gitHubService;
+        try {
+            return build.join();
+        } catch (CompletionException | CancellationException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            LOGGER.error("Failed to build the GitHub service, retrying in the background", cause);
+            synchronized (this) {
+                if (gitHubService == build) {
+                    gitHubService = CompletableFuture.supplyAsync(gitHubServiceFactory, initExecutor);
+                }
+            }
+            throw new ServiceCallException("GitHub client is unavailable", String.valueOf(cause.getMessage()),
+                    HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
     }
 
     /**
@@ -82,7 +143,7 @@ public class GitHubClient {
         Assert.notNull(username, "username must not be null");
 
         try {
-            return gitHubService.fetchUserByUsername(username);
+            return gitHubService().fetchUserByUsername(username);
         } catch (FeignException e) {
             throw new ServiceCallException(e);
         }
@@ -90,7 +151,7 @@ public class GitHubClient {
 
     /**
      * Fetches the GitHub repositories of the user with the given username. This will paginate through all repositories
-     * the user has if needed.
+     * the user has if needed, recording a {@link RepositoryWalkEvent} for the full walk.
      *
      * @param username Username of the user to find repositories for
      * @return List of GitHub repositories belonging to the user with the username
@@ -99,25 +160,32 @@ public class GitHubClient {
     public List<GitHubRepository> fetchUserRepositories(final String username) throws ServiceCallException {
         Assert.notNull(username, "username must not be null");
 
+        final var walkEvent = new RepositoryWalkEvent();
+        walkEvent.begin();
+        final List<GitHubRepository> repos = new ArrayList<>();
+        int pageNumber = 1;
+        boolean succeeded = false;
         try {
-            int pageNumber = 1;
-            final List<GitHubRepository> repos = new ArrayList<>();
             boolean pagesRemaining = true;
             while (pagesRemaining) {
-                Response response = gitHubService.fetchUserRepositories(username, pageNumber, REPOSITORY_PER_PAGE);
-                repos.addAll(objectMapper.readValue(response.body().asInputStream(), new TypeReference<>() {
-                }));
-                final Collection<String> linkHeader = response.headers().get("link");
-                if (linkHeader == null || linkHeader.isEmpty()) {
-                    pagesRemaining = false;
+                try (Response response = gitHubService().fetchUserRepositories(username, pageNumber, REPOSITORY_PER_PAGE)) {
+                    repos.addAll(objectMapper.readValue(response.body().asInputStream(), new TypeReference<>() {
+                    }));
+                    final Collection<String> linkHeader = response.headers().get("link");
+                    if (linkHeader == null || linkHeader.isEmpty()) {
+                        pagesRemaining = false;
+                    }
                 }
                 pageNumber++;
             }
+            succeeded = true;
             return repos;
         } catch (FeignException e) {
             throw new ServiceCallException(e);
         } catch (IOException e) {
             throw new ServiceCallException("Failed to parse repository response", e.getMessage(), 500);
+        } finally {
+            walkEvent.finish(username, succeeded ? pageNumber - 1 : pageNumber, repos.size(), succeeded);
         }
     }
 }
@@ -0,0 +1,216 @@
+package com.askegard.githubdataintegration.clients;
+
+import com.askegard.githubdataintegration.diagnostics.GitHubCallEvent;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Feign client that records a {@link GitHubCallEvent} for every call made through the client it wraps. The event for a
+ * response with a body is committed once the body is closed, so that the bytes of a body whose length is not known up
+ * front, such as one GitHub sent compressed, can be counted as they are read.
+ */
+class JfrRecordingClient implements Client {
+    private static final String PAGE_PARAMETER = "page=";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    private final Client delegate;
+
+    /**
+     * Constructs a new instance
+     *
+     * @param delegate Client that performs the calls
+     */
+    JfrRecordingClient(final Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(final Request request, final Request.Options options) throws IOException {
+        final var event = new GitHubCallEvent();
+        if (!event.isEnabled()) {
+            return delegate.execute(request, options);
+        }
+
+        final String endpoint = request.httpMethod() + " " + parsePath(request.url());
+        final int page = parsePage(request.url());
+        event.begin();
+        final Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            event.finish(endpoint, page, -1, -1);
+            throw e;
+        }
+        if (response.body() == null) {
+            event.finish(endpoint, page, response.status(), 0);
+            return response;
+        }
+        final var body = new RecordingBody(response.body(), parseContentLength(response),
+                bytes -> event.finish(endpoint, page, response.status(), bytes));
+        return response.toBuilder().body(body).build();
+    }
+
+    /**
+     * @param response Response to read the header from
+     * @return The value of the Content-Length header, or -1 if it is absent or not a number
+     */
+    static long parseContentLength(final Response response) {
+        final Collection<String> values = response.headers().get(CONTENT_LENGTH_HEADER);
+        if (values == null || values.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(values.iterator().next().trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param url Request URL
+     * @return The path of the URL, or the URL itself if it cannot be parsed
+     */
+    static String parsePath(final String url) {
+        try {
+            final String path = URI.create(url).getRawPath();
+            return path == null ? url : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * @param url Request URL
+     * @return The value of the page query parameter, or 0 if it is absent or not a number
+     */
+    static int parsePage(final String url) {
+        final int queryStart = url.indexOf('?');
+        if (queryStart < 0) {
+            return 0;
+        }
+        for (final String parameter : url.substring(queryStart + 1).split("&")) {
+            if (parameter.startsWith(PAGE_PARAMETER)) {
+                try {
+                    return Integer.parseInt(parameter.substring(PAGE_PARAMETER.length()));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Response body that counts the bytes read from it and reports the size of the body once, when it is closed or
+     * read to its end
+     */
+    private static final class RecordingBody implements Response.Body {
+        private final Response.Body delegate;
+        private final long contentLength;
+        private final LongConsumer onFinish;
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        /**
+         * @param delegate      Body to read from
+         * @param contentLength Length given by the Content-Length header, or -1 to report the bytes read instead
+         * @param onFinish      Receives the size of the body
+         */
+        private RecordingBody(final Response.Body delegate, final long contentLength, final LongConsumer onFinish) {
+            this.delegate = delegate;
+            this.contentLength = contentLength;
+            this.onFinish = onFinish;
+        }
+
+        @Override
+        public Integer length() {
+            return delegate.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return delegate.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(delegate.asInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    final int value = super.read();
+                    if (value < 0) {
+                        finish();
+                    } else {
+                        bytesRead.incrementAndGet();
+                    }
+                    return value;
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                    final int count = super.read(buffer, offset, length);
+                    if (count < 0) {
+                        finish();
+                    } else {
+                        bytesRead.addAndGet(count);
+                    }
+                    return count;
+                }
+
+                @Override
+                public long skip(final long count) throws IOException {
+                    final long skipped = super.skip(count);
+                    bytesRead.addAndGet(skipped);
+                    return skipped;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        finish();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Reader asReader(final Charset charset) throws IOException {
+            return new InputStreamReader(asInputStream(), charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                finish();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        private void finish() {
+            if (finished.compareAndSet(false, true)) {
+                onFinish.accept(contentLength >= 0 ? contentLength : bytesRead.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Assigns every request a correlation id, taken from the {@value #HEADER} request header when present, and makes it
+ * available through {@link RequestCorrelation} while the request is handled. The id is echoed in the response header.
+ */
+@Component
+public class CorrelationIdFilter extends OncePerRequestFilter {
+    /**
+     * Header that carries the correlation id on requests and responses
+     */
+    public static final String HEADER = "X-Request-Id";
+
+    private static final int MAX_ID_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String requestedId = request.getHeader(HEADER);
+        final String correlationId = requestedId == null || requestedId.isBlank() || requestedId.length() > MAX_ID_LENGTH
+                ? UUID.randomUUID().toString()
+                : requestedId;
+
+        RequestCorrelation.set(correlationId);
+        response.setHeader(HEADER, correlationId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCorrelation.clear();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a single HTTP call made to GitHub's API
+ */
+@Name("com.askegard.githubdataintegration.GitHubCall")
+@Label("GitHub Call")
+@Category("GitHub Data Integration")
+@Description("HTTP call made to GitHub's API")
+@StackTrace(false)
+public class GitHubCallEvent extends Event {
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Page")
+    @Description("Page requested from a paginated endpoint, or 0 if the endpoint is not paginated")
+    int page;
+
+    @Label("Status")
+    @Description("HTTP status of the response, or -1 if no response was received")
+    int status;
+
+    @Label("Bytes")
+    @Description("Content-Length of the response body, or the bytes read from it if the header is absent, or -1 if no response was received")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Ends the event and commits it with the given details if recording is enabled for it
+     *
+     * @param endpoint HTTP method and path of the call
+     * @param page     Page requested, or 0 if the endpoint is not paginated
+     * @param status   HTTP status of the response, or -1 if no response was received
+     * @param bytes    Content-Length of the response body, or the bytes read from it if the header is absent, or -1 if
+     *                 no response was received
+     */
+    public void finish(final String endpoint, final int page, final int status, final long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.correlationId = RequestCorrelation.currentId();
+            this.endpoint = endpoint;
+            this.page = page;
+            this.status = status;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Command line tool that summarizes the events this application records in a Flight Recorder file into a timeline per
+ * request correlation id. Run it with the path of a {@code .jfr} file, for example
+ * {@code ./mvnw exec:java -Dexec.mainClass=com.askegard.githubdataintegration.diagnostics.JfrTimelineSummary -Dexec.args=recording.jfr}
+ */
+public final class JfrTimelineSummary {
+    private static final String EVENT_PREFIX = "com.askegard.githubdataintegration.";
+    private static final String NO_CORRELATION_ID = "(none)";
+    private static final Set<String> SKIPPED_FIELDS = Set.of("startTime", "duration", "eventThread", "stackTrace",
+            "correlationId");
+
+    private JfrTimelineSummary() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrTimelineSummary <recording.jfr>");
+            System.exit(1);
+        }
+        summarize(RecordingFile.readAllEvents(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * Prints the application's events grouped by correlation id, ordered by the time of each request's first event.
+     * Each line shows an event's offset from the start of its request, its duration, its type and its fields.
+     *
+     * @param events Events read from a recording
+     * @param out    Stream to print the summary to
+     */
+    static void summarize(final List<RecordedEvent> events, final PrintStream out) {
+        final Map<String, List<RecordedEvent>> timelines = events.stream()
+                .filter(event -> event.getEventType().getName().startsWith(EVENT_PREFIX))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .collect(Collectors.groupingBy(JfrTimelineSummary::correlationId, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        timelines.forEach((correlationId, timeline) -> {
+            final Instant requestStart = timeline.get(0).getStartTime();
+            final Instant requestEnd = timeline.stream()
+                    .map(RecordedEvent::getEndTime)
+                    .max(Comparator.naturalOrder())
+                    .orElse(requestStart);
+            out.printf("Request %s: %d events over %.3f ms%n", correlationId, timeline.size(),
+                    millis(Duration.between(requestStart, requestEnd)));
+
+            for (final RecordedEvent event : timeline) {
+                out.printf("  +%10.3f ms %10.3f ms  %-16s %s%n",
+                        millis(Duration.between(requestStart, event.getStartTime())),
+                        millis(event.getDuration()),
+                        event.getEventType().getLabel(),
+                        describeFields(event));
+            }
+        });
+    }
+
+    private static String correlationId(final RecordedEvent event) {
+        final String correlationId = event.hasField("correlationId") ? event.getString("correlationId") : null;
+        return correlationId == null ? NO_CORRELATION_ID : correlationId;
+    }
+
+    private static String describeFields(final RecordedEvent event) {
+        return event.getFields().stream()
+                .map(ValueDescriptor::getName)
+                .filter(name -> !SKIPPED_FIELDS.contains(name))
+                .map(name -> name + "=" + event.getValue(name))
+                .collect(Collectors.joining(" "));
+    }
+
+    private static double millis(final Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for fetching every page of a user's repositories from GitHub
+ */
+@Name("com.askegard.githubdataintegration.RepositoryWalk")
+@Label("Repository Walk")
+@Category("GitHub Data Integration")
+@Description("Pagination through all of a user's repositories")
+@StackTrace(false)
+public class RepositoryWalkEvent extends Event {
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Username")
+    String username;
+
+    @Label("Pages")
+    int pages;
+
+    @Label("Repositories")
+    int repositories;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Ends the event and commits it with the given details if recording is enabled for it
+     *
+     * @param username     Username whose repositories were fetched
+     * @param pages        Number of pages fetched
+     * @param repositories Number of repositories fetched
+     * @param succeeded    Whether every page was fetched successfully
+     */
+    public void finish(final String username, final int pages, final int repositories, final boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.correlationId = RequestCorrelation.currentId();
+            this.username = username;
+            this.pages = pages;
+            this.repositories = repositories;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
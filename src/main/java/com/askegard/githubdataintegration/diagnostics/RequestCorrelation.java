@@ -0,0 +1,35 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+/**
+ * Holds the correlation id of the request being handled by the current thread so that diagnostics recorded while
+ * handling it can be grouped together
+ */
+public final class RequestCorrelation {
+    private static final ThreadLocal<String> CURRENT_ID = new ThreadLocal<>();
+
+    private RequestCorrelation() {
+    }
+
+    /**
+     * @return the correlation id of the request handled by the current thread, or null if there is none
+     */
+    public static String currentId() {
+        return CURRENT_ID.get();
+    }
+
+    /**
+     * Sets the correlation id of the request handled by the current thread
+     *
+     * @param correlationId Correlation id of the request
+     */
+    static void set(final String correlationId) {
+        CURRENT_ID.set(correlationId);
+    }
+
+    /**
+     * Removes the correlation id from the current thread
+     */
+    static void clear() {
+        CURRENT_ID.remove();
+    }
+}
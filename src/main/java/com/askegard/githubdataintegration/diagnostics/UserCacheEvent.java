@@ -0,0 +1,74 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a decision made by the user info caches of the REST controller
+ */
+@Name("com.askegard.githubdataintegration.UserCache")
+@Label("User Cache")
+@Category("GitHub Data Integration")
+@Description("Cache hit, miss or load for a GitHub user lookup")
+@StackTrace(false)
+public class UserCacheEvent extends Event {
+    /**
+     * The user info was returned from the cache
+     */
+    public static final String HIT = "hit";
+
+    /**
+     * The username was rejected by the negative cache of users GitHub could not find
+     */
+    public static final String NEGATIVE_HIT = "negativeHit";
+
+    /**
+     * The user info was not cached and must be loaded from GitHub
+     */
+    public static final String MISS = "miss";
+
+    /**
+     * The user info was loaded from GitHub. The event's duration covers the load.
+     */
+    public static final String LOAD = "load";
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Username")
+    String username;
+
+    @Label("Action")
+    String action;
+
+    @Label("Succeeded")
+    @Description("Whether user info was returned from the cache or loaded into it")
+    boolean succeeded;
+
+    /**
+     * Records an instant cache decision if recording is enabled for this event
+     *
+     * @param username Username that was looked up
+     * @param action   Cache decision that was made
+     */
+    public static void record(final String username, final String action) {
+        new UserCacheEvent().finish(username, action, HIT.equals(action));
+    }
+
+    /**
+     * Ends the event and commits it with the given details if recording is enabled for it
+     *
+     * @param username  Username that was looked up
+     * @param action    Cache decision that was made
+     * @param succeeded Whether user info was returned from the cache or loaded into it
+     */
+    public void finish(final String username, final String action, final boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.correlationId = RequestCorrelation.currentId();
+            this.username = username;
+            this.action = action;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.askegard.githubdataintegration.rest;
 
+import com.askegard.githubdataintegration.cache.NegativeUserCache;
 import com.askegard.githubdataintegration.clients.GitHubClient;
+import com.askegard.githubdataintegration.diagnostics.UserCacheEvent;
 import com.askegard.githubdataintegration.exceptions.ServiceCallException;
 import com.askegard.githubdataintegration.models.GitHubRepository;
 import com.askegard.githubdataintegration.models.GitHubUser;
@@ -35,14 +37,24 @@ public class GitHubUserController {
             .appendPattern("yyyy-MM-dd HH:mm:ss")
             .toFormatter();
 
+    /**
+     * Reason returned for users GitHub could not find, whether or not the lookup reached GitHub
+     */
+    private static final String USER_NOT_FOUND = "User not found";
+
     @Autowired
     private GitHubClient gitHubClient;
 
+    @Autowired
+    private NegativeUserCache negativeUserCache;
+
     private final Map<String, GitHubUserInfo> userInfoCache = new ConcurrentHashMap<>();
 
     /**
      * Fetches the information about a GitHub user with the given username. The returned data will include general user
-     * information as well as a summary of their repositories. Note: only public information is returned.
+     * information as well as a summary of their repositories. Note: only public information is returned. Usernames that
+     * GitHub recently reported as not found are rejected without calling GitHub again. Each cache decision is recorded as
+     * a {@link UserCacheEvent}.
      *
      * @param username GitHub username of the user to find
      * @return Information about the GitHub user with the username
@@ -51,20 +63,55 @@ public class GitHubUserController {
     @GetMapping("/gitHubUserInfo/{username}")
     public GitHubUserInfo fetchGitHubUserInfo(@PathVariable(value = "username") final String username)
             throws ResponseStatusException {
-        try {
-            if (userInfoCache.containsKey(username)) {
-                return userInfoCache.get(username);
-            }
+        if (userInfoCache.containsKey(username)) {
+            UserCacheEvent.record(username, UserCacheEvent.HIT);
+            return userInfoCache.get(username);
+        }
+        if (negativeUserCache.isKnownMissing(username)) {
+            UserCacheEvent.record(username, UserCacheEvent.NEGATIVE_HIT);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, USER_NOT_FOUND);
+        }
+        UserCacheEvent.record(username, UserCacheEvent.MISS);
 
-            final GitHubUser gitHubUser = gitHubClient.fetchUserByUsername(username);
+        final var loadEvent = new UserCacheEvent();
+        loadEvent.begin();
+        boolean loaded = false;
+        try {
+            final GitHubUser gitHubUser = fetchUser(username);
             final List<GitHubRepository> gitHubRepos = gitHubClient.fetchUserRepositories(username);
             final GitHubUserInfo userInfo = mergeUserInfo(gitHubUser, gitHubRepos);
             userInfoCache.put(username, userInfo);
+            loaded = true;
             return userInfo;
         } catch (ServiceCallException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, USER_NOT_FOUND, e);
+            }
             throw new ResponseStatusException(HttpStatus.valueOf(e.getStatusCode()), e.getErrorBody(), e);
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", e);
+        } finally {
+            loadEvent.finish(username, UserCacheEvent.LOAD, loaded);
+        }
+    }
+
+    /**
+     * Fetches the GitHub user with the given username, recording in the {@link NegativeUserCache} whether it was found
+     *
+     * @param username Username of the user to find
+     * @return The GitHub user with the given username
+     * @throws ServiceCallException If an error occurs while fetching the user, including if the user is not found
+     */
+    private GitHubUser fetchUser(final String username) throws ServiceCallException {
+        try {
+            final GitHubUser gitHubUser = gitHubClient.fetchUserByUsername(username);
+            negativeUserCache.recordFound(username);
+            return gitHubUser;
+        } catch (ServiceCallException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                negativeUserCache.recordMissing(username);
+            }
+            throw e;
         }
     }
 
@@ -0,0 +1,137 @@
+package com.askegard.githubdataintegration.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegativeUserCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int NEVER_SAMPLE = Integer.MAX_VALUE;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private NegativeUserCache negativeUserCache;
+
+    @BeforeEach
+    void setup() {
+        clock.set(0);
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1_000, 100, NEVER_SAMPLE, clock::get);
+    }
+
+    @Test
+    void testIsKnownMissing() {
+        negativeUserCache.recordMissing("missing-user");
+
+        assertTrue(negativeUserCache.isKnownMissing("missing-user"), "Expected the recorded user to be missing");
+        assertFalse(negativeUserCache.isKnownMissing("octocat"), "Expected an unrecorded user not to be missing");
+    }
+
+    @Test
+    void testIsKnownMissing_expired() {
+        negativeUserCache.recordMissing("missing-user");
+
+        clock.addAndGet(TTL.toNanos() / 2);
+        assertTrue(negativeUserCache.isKnownMissing("missing-user"), "Expected the user to be missing within the TTL");
+
+        clock.addAndGet(TTL.toNanos());
+        assertFalse(negativeUserCache.isKnownMissing("missing-user"), "Expected the user to expire after the TTL");
+    }
+
+    @Test
+    void testIsKnownMissing_filterHitTrusted() {
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1_000, 1, NEVER_SAMPLE, clock::get);
+        negativeUserCache.recordMissing("missing-user-1");
+        negativeUserCache.recordMissing("missing-user-2");
+
+        assertTrue(negativeUserCache.isKnownMissing("missing-user-1"),
+                "Expected a user evicted from the exact record to be rejected by the filter alone");
+        assertTrue(negativeUserCache.isKnownMissing("missing-user-2"), "Expected the newest user to be missing");
+    }
+
+    @Test
+    void testIsKnownMissing_saturatedFilterRequiresConfirmation() {
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1, 1, NEVER_SAMPLE, clock::get);
+        for (int i = 0; i < 20; i++) {
+            negativeUserCache.recordMissing("missing-user-" + i);
+        }
+
+        assertFalse(negativeUserCache.isKnownMissing("missing-user-0"),
+                "Expected an unconfirmed user not to be trusted once the filter is saturated");
+        assertTrue(negativeUserCache.isKnownMissing("missing-user-19"), "Expected the confirmed user to be missing");
+    }
+
+    @Test
+    void testIsKnownMissing_recentlyFoundRequiresConfirmation() {
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1_000, 1, NEVER_SAMPLE, clock::get);
+        negativeUserCache.recordMissing("new-user");
+        negativeUserCache.recordFound("new-user");
+
+        assertFalse(negativeUserCache.isKnownMissing("new-user"),
+                "Expected a recently found user matching the filter to be confirmed with GitHub");
+
+        negativeUserCache.recordMissing("new-user");
+        assertTrue(negativeUserCache.isKnownMissing("new-user"), "Expected the user to be missing again");
+    }
+
+    @Test
+    void testRecordMissing_evictsEldest() {
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1, 2, NEVER_SAMPLE, clock::get);
+        // Saturate the filter so that only the exact record decides
+        for (int i = 0; i < 20; i++) {
+            negativeUserCache.recordMissing("filler-user-" + i);
+        }
+        negativeUserCache.recordMissing("missing-user-1");
+        negativeUserCache.recordMissing("missing-user-2");
+        // Recording a user again makes it the newest entry
+        negativeUserCache.recordMissing("missing-user-1");
+        negativeUserCache.recordMissing("missing-user-3");
+
+        assertTrue(negativeUserCache.isKnownMissing("missing-user-1"), "Expected the re-recorded user to be kept");
+        assertFalse(negativeUserCache.isKnownMissing("missing-user-2"), "Expected the eldest user to be evicted");
+        assertTrue(negativeUserCache.isKnownMissing("missing-user-3"), "Expected the newest user to be kept");
+    }
+
+    @Test
+    void testIsKnownMissing_sampledFilterHits() {
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1_000, 1, 2, clock::get);
+        negativeUserCache.recordMissing("new-user");
+        negativeUserCache.recordMissing("missing-user");
+
+        assertTrue(negativeUserCache.isKnownMissing("new-user"), "Expected the first unconfirmed hit to be rejected");
+        assertFalse(negativeUserCache.isKnownMissing("new-user"), "Expected the second unconfirmed hit to be sampled");
+        assertTrue(negativeUserCache.isKnownMissing("missing-user"),
+                "Expected confirmed hits to be rejected without sampling");
+    }
+
+    @Test
+    void testRecordFound_observedFalsePositive() {
+        negativeUserCache = new NegativeUserCache(TTL, 4, 1_000, 1, 1, clock::get);
+        assertEquals(0.0, negativeUserCache.observedFalsePositiveRate(), "Expected no false positives to be observed");
+
+        negativeUserCache.recordMissing("new-user");
+        negativeUserCache.recordMissing("missing-user-1");
+        negativeUserCache.recordMissing("missing-user-2");
+
+        // Both evicted users are sampled; GitHub finds one and reports the other as missing
+        assertFalse(negativeUserCache.isKnownMissing("new-user"), "Expected the unconfirmed hit to be sampled");
+        negativeUserCache.recordFound("new-user");
+        assertFalse(negativeUserCache.isKnownMissing("missing-user-1"), "Expected the unconfirmed hit to be sampled");
+        negativeUserCache.recordMissing("missing-user-1");
+
+        assertEquals(0.5, negativeUserCache.observedFalsePositiveRate(), "The observed false positive rate was unexpected");
+    }
+
+    @Test
+    void testEstimatedRecordBytes() {
+        assertEquals(0, negativeUserCache.estimatedRecordBytes(), "Expected empty records to hold no memory");
+
+        negativeUserCache.recordMissing("missing-user");
+        negativeUserCache.recordFound("octocat");
+
+        assertEquals(256, negativeUserCache.estimatedRecordBytes(), "Expected an estimate for each record entry");
+    }
+}
@@ -1,21 +1,28 @@
 package com.askegard.githubdataintegration.clients;
 
+import com.askegard.githubdataintegration.diagnostics.JfrTestRecordings;
+import com.askegard.githubdataintegration.diagnostics.RepositoryWalkEvent;
 import com.askegard.githubdataintegration.exceptions.ServiceCallException;
 import com.askegard.githubdataintegration.models.GitHubRepository;
 import com.askegard.githubdataintegration.models.GitHubUser;
 import feign.FeignException;
 import feign.Request;
 import feign.Response;
+import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -47,7 +54,6 @@ class GitHubClientTest {
             }]
             """;
 
-    @InjectMocks
     private GitHubClient gitHubClient;
 
     @Mock
@@ -65,6 +71,45 @@ class GitHubClientTest {
         assertEquals(GIT_HUB_USER, returnedUser, "The returned user was unexpected");
     }
 
+    @Test
+    void testFetchUserByUsername_serviceNotReady() throws Exception {
+        final List<Runnable> pendingBuilds = new ArrayList<>();
+        gitHubClient = new GitHubClient(() -> gitHubService, pendingBuilds::add);
+        when(gitHubService.fetchUserByUsername(USERNAME)).thenReturn(GIT_HUB_USER);
+
+        final CompletableFuture<GitHubUser> call = CompletableFuture.supplyAsync(() -> {
+            try {
+                return gitHubClient.fetchUserByUsername(USERNAME);
+            } catch (ServiceCallException e) {
+                throw new CompletionException(e);
+            }
+        });
+        assertFalse(call.isDone(), "Expected the call to wait for the service to be built");
+
+        pendingBuilds.getFirst().run();
+        assertEquals(GIT_HUB_USER, call.get(5, TimeUnit.SECONDS), "The returned user was unexpected");
+    }
+
+    @Test
+    void testFetchUserByUsername_serviceBuildFailed() throws Exception {
+        final var buildAttempts = new AtomicInteger();
+        gitHubClient = new GitHubClient(() -> {
+            if (buildAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Build failed");
+            }
+            return gitHubService;
+        }, Runnable::run);
+        when(gitHubService.fetchUserByUsername(USERNAME)).thenReturn(GIT_HUB_USER);
+
+        final ServiceCallException thrownException = assertThrows(ServiceCallException.class, () -> gitHubClient.fetchUserByUsername(USERNAME));
+        assertEquals("Build failed", thrownException.getErrorBody(), "The error body was unexpected");
+        assertEquals(503, thrownException.getStatusCode(), "The status code was unexpected");
+
+        // The failed build is retried, so the next call succeeds
+        assertEquals(GIT_HUB_USER, gitHubClient.fetchUserByUsername(USERNAME), "The returned user was unexpected");
+        assertEquals(2, buildAttempts.get(), "The number of build attempts was unexpected");
+    }
+
     @Test
     void testFetchUserByUsername_nullUsername() {
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> gitHubClient.fetchUserByUsername(null));
@@ -126,6 +171,55 @@ class GitHubClientTest {
         assertEquals(expectedRepos, returnedRepos, "The returned repositories were unexpected");
     }
 
+    @Test
+    void testFetchUserRepositories_walkEvent() throws Exception {
+        final var response1 = Response.builder()
+                .body(REPOSITORY_RESPONSE, StandardCharsets.UTF_8)
+                .headers(Map.of("link", List.of("<nextPageLink/>")))
+                .request(mock(Request.class))
+                .build();
+        final var response2 = Response.builder()
+                .body("[]", StandardCharsets.UTF_8)
+                .headers(Map.of())
+                .request(mock(Request.class))
+                .build();
+
+        when(gitHubService.fetchUserRepositories(USERNAME, 1, 100)).thenReturn(response1);
+        when(gitHubService.fetchUserRepositories(USERNAME, 2, 100)).thenReturn(response2);
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(RepositoryWalkEvent.class,
+                () -> gitHubClient.fetchUserRepositories(USERNAME));
+
+        assertEquals(1, events.size(), "Expected a single walk event");
+        final RecordedEvent event = events.getFirst();
+        assertEquals(USERNAME, event.getString("username"), "The username was unexpected");
+        assertEquals(2, event.getInt("pages"), "The page count was unexpected");
+        assertEquals(2, event.getInt("repositories"), "The repository count was unexpected");
+        assertTrue(event.getBoolean("succeeded"), "Expected the walk to succeed");
+    }
+
+    @Test
+    void testFetchUserRepositories_walkEventFailedPage() throws Exception {
+        final var feignException = mock(FeignException.class);
+        final var response1 = Response.builder()
+                .body(REPOSITORY_RESPONSE, StandardCharsets.UTF_8)
+                .headers(Map.of("link", List.of("<nextPageLink/>")))
+                .request(mock(Request.class))
+                .build();
+
+        when(gitHubService.fetchUserRepositories(USERNAME, 1, 100)).thenReturn(response1);
+        when(gitHubService.fetchUserRepositories(USERNAME, 2, 100)).thenThrow(feignException);
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(RepositoryWalkEvent.class,
+                () -> assertThrows(ServiceCallException.class, () -> gitHubClient.fetchUserRepositories(USERNAME)));
+
+        assertEquals(1, events.size(), "Expected a single walk event");
+        final RecordedEvent event = events.getFirst();
+        assertEquals(2, event.getInt("pages"), "Expected the failed page to be counted");
+        assertEquals(2, event.getInt("repositories"), "Expected only the first page's repositories");
+        assertFalse(event.getBoolean("succeeded"), "Expected the walk to fail");
+    }
+
     @Test
     void testFetchUserRepositories_nullUsername() {
         final Exception exception = assertThrows(IllegalArgumentException.class, () -> gitHubClient.fetchUserRepositories(null));
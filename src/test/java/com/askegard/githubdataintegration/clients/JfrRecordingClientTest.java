@@ -0,0 +1,143 @@
+package com.askegard.githubdataintegration.clients;
+
+import com.askegard.githubdataintegration.diagnostics.GitHubCallEvent;
+import com.askegard.githubdataintegration.diagnostics.JfrTestRecordings;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JfrRecordingClientTest {
+    private static final String URL = "https://api.github.com/users/octocat/repos?page=2&per_page=100";
+    private static final String RESPONSE_BODY = "[]";
+
+    @Mock
+    private Client delegate;
+
+    @Test
+    void testExecute() throws Exception {
+        final var request = Request.create(Request.HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+        final var response = Response.builder()
+                .status(200)
+                .body(RESPONSE_BODY, StandardCharsets.UTF_8)
+                .headers(Map.of())
+                .request(request)
+                .build();
+        when(delegate.execute(eq(request), any())).thenReturn(response);
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(GitHubCallEvent.class, () -> {
+            try (Response recorded = new JfrRecordingClient(delegate).execute(request, new Request.Options())) {
+                assertEquals(RESPONSE_BODY, new String(recorded.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8),
+                        "Expected the delegate's body to be returned");
+            }
+        });
+
+        assertEquals(1, events.size(), "Expected a single call event");
+        final RecordedEvent event = events.getFirst();
+        assertEquals("GET /users/octocat/repos", event.getString("endpoint"), "The endpoint was unexpected");
+        assertEquals(2, event.getInt("page"), "The page was unexpected");
+        assertEquals(200, event.getInt("status"), "The status was unexpected");
+        assertEquals(RESPONSE_BODY.length(), event.getLong("bytes"), "The byte count was unexpected");
+    }
+
+    @Test
+    void testExecute_contentLength() throws Exception {
+        final var request = Request.create(Request.HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+        final var response = Response.builder()
+                .status(200)
+                .body(RESPONSE_BODY, StandardCharsets.UTF_8)
+                .headers(Map.of("content-length", List.of("40")))
+                .request(request)
+                .build();
+        when(delegate.execute(eq(request), any())).thenReturn(response);
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(GitHubCallEvent.class,
+                () -> new JfrRecordingClient(delegate).execute(request, new Request.Options()).close());
+
+        assertEquals(1, events.size(), "Expected a single call event");
+        assertEquals(40, events.getFirst().getLong("bytes"), "Expected the Content-Length as the byte count");
+    }
+
+    @Test
+    void testExecute_unknownLength() throws Exception {
+        final var request = Request.create(Request.HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+        final byte[] body = "[{\"name\":\"boysenberry-repo-1\"}]".getBytes(StandardCharsets.UTF_8);
+        final var response = Response.builder()
+                .status(200)
+                .body(new ByteArrayInputStream(body), null)
+                .headers(Map.of())
+                .request(request)
+                .build();
+        when(delegate.execute(eq(request), any())).thenReturn(response);
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(GitHubCallEvent.class, () -> {
+            try (InputStream stream = new JfrRecordingClient(delegate).execute(request, new Request.Options())
+                    .body().asInputStream()) {
+                assertEquals('[', stream.read(), "Expected the delegate's body to be returned");
+                assertEquals(body.length - 1, stream.readAllBytes().length, "Expected the rest of the body to be read");
+            }
+        });
+
+        assertEquals(1, events.size(), "Expected a single call event");
+        assertEquals(body.length, events.getFirst().getLong("bytes"), "Expected the bytes read as the byte count");
+    }
+
+    @Test
+    void testExecute_ioException() throws Exception {
+        final var request = Request.create(Request.HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+        when(delegate.execute(eq(request), any())).thenThrow(new IOException("Connection reset"));
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(GitHubCallEvent.class, () -> assertThrows(IOException.class,
+                () -> new JfrRecordingClient(delegate).execute(request, new Request.Options())));
+
+        assertEquals(1, events.size(), "Expected a single call event");
+        assertEquals(-1, events.getFirst().getInt("status"), "Expected no status for a failed call");
+        assertEquals(-1, events.getFirst().getLong("bytes"), "Expected no byte count for a failed call");
+    }
+
+    @Test
+    void testExecute_unparseableUrl() throws Exception {
+        final var url = "https://api.github.com/users/octo cat";
+        final var request = Request.create(Request.HttpMethod.GET, url, Map.of(), null, StandardCharsets.UTF_8, null);
+        final var response = Response.builder()
+                .status(404)
+                .headers(Map.of())
+                .request(request)
+                .build();
+        when(delegate.execute(eq(request), any())).thenReturn(response);
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(GitHubCallEvent.class,
+                () -> assertEquals(response, new JfrRecordingClient(delegate).execute(request, new Request.Options()),
+                        "Expected the delegate's response to be returned"));
+
+        assertEquals(1, events.size(), "Expected a single call event");
+        assertEquals("GET " + url, events.getFirst().getString("endpoint"), "Expected the raw URL as the endpoint");
+    }
+
+    @Test
+    void testParsePage() {
+        assertEquals(3, JfrRecordingClient.parsePage("https://api.github.com/users/octocat/repos?per_page=100&page=3"),
+                "The page was unexpected");
+        assertEquals(0, JfrRecordingClient.parsePage("https://api.github.com/users/octocat"),
+                "Expected no page without a query");
+        assertEquals(0, JfrRecordingClient.parsePage("https://api.github.com/users/octocat/repos?per_page=100"),
+                "Expected no page without a page parameter");
+        assertEquals(0, JfrRecordingClient.parsePage("https://api.github.com/users/octocat/repos?page=last"),
+                "Expected no page for a non-numeric page");
+    }
+}
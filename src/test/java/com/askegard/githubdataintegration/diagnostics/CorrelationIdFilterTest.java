@@ -0,0 +1,81 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+    private final CorrelationIdFilter correlationIdFilter = new CorrelationIdFilter();
+
+    @Test
+    void testDoFilter_requestedId() throws Exception {
+        final var request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "request-1");
+        final var response = new MockHttpServletResponse();
+
+        final String correlationId = filter(request, response);
+
+        assertEquals("request-1", correlationId, "Expected the requested id to be used");
+        assertEquals("request-1", response.getHeader(CorrelationIdFilter.HEADER), "Expected the id in the response");
+        assertNull(RequestCorrelation.currentId(), "Expected the id to be cleared after the request");
+    }
+
+    @Test
+    void testDoFilter_noRequestedId() throws Exception {
+        final var response = new MockHttpServletResponse();
+
+        final String correlationId = filter(new MockHttpServletRequest(), response);
+
+        assertDoesNotThrow(() -> UUID.fromString(correlationId), "Expected a generated id");
+        assertEquals(correlationId, response.getHeader(CorrelationIdFilter.HEADER), "Expected the id in the response");
+    }
+
+    @Test
+    void testDoFilter_blankRequestedId() throws Exception {
+        final var request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, " ");
+
+        final String correlationId = filter(request, new MockHttpServletResponse());
+
+        assertDoesNotThrow(() -> UUID.fromString(correlationId), "Expected a generated id for a blank header");
+    }
+
+    @Test
+    void testDoFilter_tooLongRequestedId() throws Exception {
+        final var request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "a".repeat(65));
+
+        final String correlationId = filter(request, new MockHttpServletResponse());
+
+        assertDoesNotThrow(() -> UUID.fromString(correlationId), "Expected a generated id for a too long header");
+    }
+
+    @Test
+    void testDoFilter_clearedOnException() {
+        final FilterChain failingChain = (request, response) -> {
+            throw new ServletException("Request failed");
+        };
+
+        assertThrows(ServletException.class, () -> correlationIdFilter.doFilter(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), failingChain));
+        assertNull(RequestCorrelation.currentId(), "Expected the id to be cleared after a failed request");
+    }
+
+    /**
+     * Runs the filter and returns the correlation id seen by the rest of the filter chain
+     */
+    private String filter(final MockHttpServletRequest request, final MockHttpServletResponse response)
+            throws Exception {
+        final var seenId = new AtomicReference<String>();
+        correlationIdFilter.doFilter(request, response, (chainRequest, chainResponse) ->
+                seenId.set(RequestCorrelation.currentId()));
+        return seenId.get();
+    }
+}
@@ -0,0 +1,56 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Records Flight Recorder events raised while running code under test
+ */
+public final class JfrTestRecordings {
+    private JfrTestRecordings() {
+    }
+
+    /**
+     * Runs the given call while recording events of the given type and returns the recorded events in the order they
+     * started
+     *
+     * @param eventType Type of event to record
+     * @param call      Code to run while recording
+     * @return Events of the given type raised by the call
+     */
+    public static List<RecordedEvent> record(final Class<? extends Event> eventType, final RecordedCall call)
+            throws Exception {
+        final String eventName = eventType.getAnnotation(Name.class).value();
+        final Path recordingFile = Files.createTempFile("recording", ".jfr");
+        try {
+            try (var recording = new Recording()) {
+                recording.enable(eventType);
+                recording.start();
+                call.run();
+                recording.stop();
+                recording.dump(recordingFile);
+            }
+            return RecordingFile.readAllEvents(recordingFile).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .sorted((first, second) -> first.getStartTime().compareTo(second.getStartTime()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    /**
+     * Code to run while recording
+     */
+    @FunctionalInterface
+    public interface RecordedCall {
+        void run() throws Exception;
+    }
+}
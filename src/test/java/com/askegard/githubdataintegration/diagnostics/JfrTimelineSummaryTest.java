@@ -0,0 +1,66 @@
+package com.askegard.githubdataintegration.diagnostics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrTimelineSummaryTest {
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void clearCorrelation() {
+        RequestCorrelation.clear();
+    }
+
+    @Test
+    void testSummarize() throws Exception {
+        final Path recordingFile = tempDir.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(UserCacheEvent.class);
+            recording.enable(GitHubCallEvent.class);
+            recording.start();
+
+            RequestCorrelation.set("request-1");
+            UserCacheEvent.record("octocat", UserCacheEvent.MISS);
+            final var callEvent = new GitHubCallEvent();
+            callEvent.begin();
+            callEvent.finish("GET /users/octocat", 0, 200, 12);
+
+            RequestCorrelation.set("request-2");
+            UserCacheEvent.record("octocat", UserCacheEvent.HIT);
+
+            RequestCorrelation.clear();
+            UserCacheEvent.record("octocat2", UserCacheEvent.HIT);
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        final var output = new ByteArrayOutputStream();
+        JfrTimelineSummary.summarize(RecordingFile.readAllEvents(recordingFile),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+        final List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertEquals(7, lines.size(), "Expected a header and a line per event for each request");
+        assertTrue(lines.get(0).startsWith("Request request-1: 2 events"), "Unexpected header: " + lines.get(0));
+        assertTrue(lines.get(1).contains("User Cache") && lines.get(1).contains("username=octocat action=miss"),
+                "Unexpected event line: " + lines.get(1));
+        assertTrue(lines.get(2).contains("GitHub Call")
+                        && lines.get(2).contains("endpoint=GET /users/octocat page=0 status=200 bytes=12"),
+                "Unexpected event line: " + lines.get(2));
+        assertTrue(lines.get(3).startsWith("Request request-2: 1 events"), "Unexpected header: " + lines.get(3));
+        assertTrue(lines.get(5).startsWith("Request (none): 1 events"), "Unexpected header: " + lines.get(5));
+        assertTrue(lines.get(6).contains("username=octocat2 action=hit"), "Unexpected event line: " + lines.get(6));
+    }
+}
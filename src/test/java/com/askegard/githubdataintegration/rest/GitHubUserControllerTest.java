@@ -1,6 +1,9 @@
 package com.askegard.githubdataintegration.rest;
 
+import com.askegard.githubdataintegration.cache.NegativeUserCache;
 import com.askegard.githubdataintegration.clients.GitHubClient;
+import com.askegard.githubdataintegration.diagnostics.JfrTestRecordings;
+import com.askegard.githubdataintegration.diagnostics.UserCacheEvent;
 import com.askegard.githubdataintegration.exceptions.ServiceCallException;
 import com.askegard.githubdataintegration.models.GitHubRepository;
 import com.askegard.githubdataintegration.models.GitHubUser;
@@ -8,11 +11,13 @@ import com.askegard.githubdataintegration.models.GitHubUserInfo;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -33,6 +38,9 @@ class GitHubUserControllerTest {
     @Mock
     private GitHubClient gitHubClient;
 
+    @Spy
+    private NegativeUserCache negativeUserCache = new NegativeUserCache(1_000, 1, 2);
+
     private MockMvc mockMvc;
     private final ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
@@ -78,6 +86,7 @@ class GitHubUserControllerTest {
                 foundRepositories);
 
         assertEquals(expectedUserInfo, userInfo, "The returned user info was unexpected");
+        verify(negativeUserCache).recordFound(username);
     }
 
     @Test
@@ -142,6 +151,129 @@ class GitHubUserControllerTest {
         verifyNoMoreInteractions(gitHubClient);
     }
 
+    @Test
+    void testFetchGitHubUserInfo_notFoundCached() throws Exception {
+        final var username = "octocat5";
+
+        when(gitHubClient.fetchUserByUsername(username))
+                .thenThrow(new ServiceCallException("User not found", "failed", 404));
+
+        // Fetch the missing user once
+        MvcResult fetchedResult = mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        // Fetch the missing user again
+        MvcResult cachedResult = mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        assertEquals(fetchedResult.getResponse().getErrorMessage(), cachedResult.getResponse().getErrorMessage(),
+                "Expected the same error whether or not the lookup reached GitHub");
+
+        // Ensure the client was only called once
+        verify(gitHubClient).fetchUserByUsername(username);
+        verifyNoMoreInteractions(gitHubClient);
+    }
+
+    @Test
+    void testFetchGitHubUserInfo_sampledFilterHit() throws Exception {
+        final var username = "octocat7";
+        final var otherUsername = "octocat8";
+        final var gitHubUser = new GitHubUser(
+                username,
+                "The Octocat",
+                "https://avatars.githubusercontent.com/u/583231?v=4",
+                "San Fransisco",
+                "octocat@gh.com",
+                "https://github.com/octocat",
+                "2011-01-25T18:44:36Z");
+
+        // The user is missing at first, then evicted from the exact record by another missing user
+        when(gitHubClient.fetchUserByUsername(username))
+                .thenThrow(new ServiceCallException("User not found", "failed", 404))
+                .thenReturn(gitHubUser);
+        when(gitHubClient.fetchUserByUsername(otherUsername))
+                .thenThrow(new ServiceCallException("User not found", "failed", 404));
+        when(gitHubClient.fetchUserRepositories(username)).thenReturn(List.of());
+
+        mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        mockMvc.perform(get("/gitHubUserInfo/" + otherUsername))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        // The filter alone rejects the user
+        mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        // Every second unconfirmed filter hit is sampled and sent to GitHub, which finds the user
+        mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        verify(gitHubClient, times(2)).fetchUserByUsername(username);
+        verify(negativeUserCache).recordFound(username);
+        assertEquals(1.0, negativeUserCache.observedFalsePositiveRate(), "The observed false positive rate was unexpected");
+    }
+
+    @Test
+    void testFetchGitHubUserInfo_otherErrorNotCached() throws Exception {
+        final var username = "octocat6";
+
+        when(gitHubClient.fetchUserByUsername(username))
+                .thenThrow(new ServiceCallException("Server error", "failed", 500));
+
+        mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isInternalServerError())
+                .andReturn();
+        mockMvc.perform(get("/gitHubUserInfo/" + username))
+                .andExpect(status().isInternalServerError())
+                .andReturn();
+
+        verify(gitHubClient, times(2)).fetchUserByUsername(username);
+    }
+
+    @Test
+    void testFetchGitHubUserInfo_cacheEvents() throws Exception {
+        final var username = "octocat9";
+        final var missingUsername = "octocat10";
+        final var gitHubUser = new GitHubUser(
+                username,
+                "The Octocat",
+                "https://avatars.githubusercontent.com/u/583231?v=4",
+                "San Fransisco",
+                "octocat@gh.com",
+                "https://github.com/octocat",
+                "2011-01-25T18:44:36Z");
+
+        when(gitHubClient.fetchUserByUsername(username)).thenReturn(gitHubUser);
+        when(gitHubClient.fetchUserRepositories(username)).thenReturn(List.of());
+        when(gitHubClient.fetchUserByUsername(missingUsername))
+                .thenThrow(new ServiceCallException("User not found", "failed", 404));
+
+        final List<RecordedEvent> events = JfrTestRecordings.record(UserCacheEvent.class, () -> {
+            mockMvc.perform(get("/gitHubUserInfo/" + username)).andExpect(status().isOk());
+            mockMvc.perform(get("/gitHubUserInfo/" + username)).andExpect(status().isOk());
+            mockMvc.perform(get("/gitHubUserInfo/" + missingUsername)).andExpect(status().isNotFound());
+            mockMvc.perform(get("/gitHubUserInfo/" + missingUsername)).andExpect(status().isNotFound());
+        });
+
+        final List<String> recordedDecisions = events.stream()
+                .map(event -> String.join(" ", event.getString("username"), event.getString("action"),
+                        String.valueOf(event.getBoolean("succeeded"))))
+                .toList();
+        assertEquals(List.of(
+                        username + " miss false",
+                        username + " load true",
+                        username + " hit true",
+                        missingUsername + " miss false",
+                        missingUsername + " load false",
+                        missingUsername + " negativeHit false"),
+                recordedDecisions, "The recorded cache decisions were unexpected");
+    }
+
     @Test
     void testFetchGitHubUserInfo_otherException() throws Exception {
         final var username = "octocat4";